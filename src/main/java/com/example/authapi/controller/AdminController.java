@@ -0,0 +1,131 @@
+package com.example.authapi.controller;
+
+import com.example.authapi.dto.*;
+import com.example.authapi.entity.User;
+import com.example.authapi.service.AuthService;
+import com.example.authapi.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/users")
+public class AdminController {
+    
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    
+    private final AuthService authService;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    
+    public AdminController(AuthService authService, UserService userService, ObjectMapper objectMapper) {
+        this.authService = authService;
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+    }
+    
+    @GetMapping
+    public ResponseEntity<?> listUsers(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) User.Role role,
+            @RequestParam(required = false) Boolean enabled) {
+        try {
+            ResponseEntity<ErrorResponse> denied = checkAdmin(request);
+            if (denied != null) {
+                return denied;
+            }
+            
+            int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+            List<AdminUserInfo> users = userService.findPage(afterId, role, enabled, pageSize);
+            
+            // A full page means there may be more rows; the client resumes after the last id
+            Long nextAfterId = users.size() == pageSize ? users.get(users.size() - 1).id() : null;
+            
+            return ResponseEntity.ok(new UserPageResponse(users, nextAfterId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
+                new ErrorResponse(e.getMessage())
+            );
+        } catch (Exception e) {
+            System.err.println("User listing error: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                new ErrorResponse("Internal server error")
+            );
+        }
+    }
+    
+    // Declared as StreamingResponseBody so Spring MVC streams it; errors are written through the same type
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            HttpServletRequest request,
+            @RequestParam(required = false) User.Role role,
+            @RequestParam(required = false) Boolean enabled) {
+        try {
+            ResponseEntity<ErrorResponse> denied = checkAdmin(request);
+            if (denied != null) {
+                return errorBody(denied.getStatusCode(), denied.getBody());
+            }
+        } catch (IllegalArgumentException e) {
+            return errorBody(HttpStatus.UNAUTHORIZED, new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("User export error: " + e.getMessage());
+            return errorBody(HttpStatus.INTERNAL_SERVER_ERROR, new ErrorResponse("Internal server error"));
+        }
+        
+        // Walk the table in keyset chunks, each its own short read, so neither the heap
+        // nor a transaction grows with the size of the export
+        StreamingResponseBody body = outputStream -> {
+            long afterId = 0;
+            List<AdminUserInfo> chunk;
+            do {
+                chunk = userService.findPage(afterId, role, enabled, EXPORT_CHUNK_SIZE);
+                for (AdminUserInfo user : chunk) {
+                    outputStream.write(objectMapper.writeValueAsBytes(user));
+                    outputStream.write('\n');
+                }
+                if (!chunk.isEmpty()) {
+                    afterId = chunk.get(chunk.size() - 1).id();
+                }
+                outputStream.flush();
+            } while (chunk.size() == EXPORT_CHUNK_SIZE);
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    private ResponseEntity<StreamingResponseBody> errorBody(HttpStatusCode status, ErrorResponse error) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> objectMapper.writeValue(outputStream, error));
+    }
+    
+    private ResponseEntity<ErrorResponse> checkAdmin(HttpServletRequest request) {
+        String accessToken = AuthCookies.getAccessToken(request);
+        
+        if (accessToken == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
+                new ErrorResponse("Access token not found")
+            );
+        }
+        
+        if (!authService.isAdmin(accessToken)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(
+                new ErrorResponse("Admin access required")
+            );
+        }
+        
+        return null;
+    }
+}
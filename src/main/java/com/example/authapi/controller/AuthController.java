@@ -2,6 +2,8 @@ package com.example.authapi.controller;
 
 import com.example.authapi.dto.*;
 import com.example.authapi.service.AuthService;
+import com.example.authapi.timing.RequestTimer;
+import com.example.authapi.timing.TimingPhase;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -16,12 +18,20 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
     
     private final AuthService authService;
+    private final RequestTimer requestTimer;
     
     @Value("${session.lifetime}")
     private Long sessionLifetime;
     
-    public AuthController(AuthService authService) {
+    @Value("${session.sliding-renewal.enabled:false}")
+    private boolean slidingRenewalEnabled;
+    
+    @Value("${session.sliding-renewal.threshold:30}")
+    private Long slidingRenewalThreshold;
+    
+    public AuthController(AuthService authService, RequestTimer requestTimer) {
         this.authService = authService;
+        this.requestTimer = requestTimer;
     }
     
     @PostMapping("/login")
@@ -103,9 +113,11 @@ public class AuthController {
     }
     
     @GetMapping("/verify")
-    public ResponseEntity<?> verify(HttpServletRequest request) {
+    public ResponseEntity<?> verify(HttpServletRequest request, HttpServletResponse response) {
         try {
-            String accessToken = getAccessTokenFromCookies(request);
+            long cookieStart = requestTimer.start();
+            String accessToken = AuthCookies.getAccessToken(request);
+            requestTimer.stop(TimingPhase.COOKIE, cookieStart);
             
             if (accessToken == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
@@ -114,6 +126,24 @@ public class AuthController {
             }
             
             VerifyResponse verifyResponse = authService.verify(accessToken);
+            
+            // Sliding renewal: reissue the access token in this response instead of a separate /refresh
+            if (slidingRenewalEnabled && verifyResponse.session().timeRemaining() < slidingRenewalThreshold) {
+                RenewedSession renewedSession = authService.renewAccessToken(accessToken);
+                
+                if (renewedSession != null) {
+                    Cookie accessTokenCookie = new Cookie("access_token", renewedSession.accessToken());
+                    accessTokenCookie.setHttpOnly(true);
+                    accessTokenCookie.setSecure(false); // Set to true in production
+                    accessTokenCookie.setPath("/");
+                    accessTokenCookie.setMaxAge(sessionLifetime.intValue());
+                    
+                    response.addCookie(accessTokenCookie);
+                    
+                    verifyResponse = renewedSession.verifyResponse();
+                }
+            }
+            
             return ResponseEntity.ok(verifyResponse);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
@@ -153,15 +183,4 @@ public class AuthController {
             );
         }
     }
-    
-    private String getAccessTokenFromCookies(HttpServletRequest request) {
-        if (request.getCookies() != null) {
-            for (Cookie cookie : request.getCookies()) {
-                if ("access_token".equals(cookie.getName())) {
-                    return cookie.getValue();
-                }
-            }
-        }
-        return null;
-    }
 }
@@ -0,0 +1,22 @@
+package com.example.authapi.controller;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+
+final class AuthCookies {
+    
+    static final String ACCESS_TOKEN = "access_token";
+    
+    private AuthCookies() {}
+    
+    static String getAccessToken(HttpServletRequest request) {
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (ACCESS_TOKEN.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
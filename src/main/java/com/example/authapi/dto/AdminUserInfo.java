@@ -0,0 +1,18 @@
+package com.example.authapi.dto;
+
+import com.example.authapi.entity.User;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+public record AdminUserInfo(
+    Long id,
+    String username,
+    String email,
+    
+    @JsonProperty("created_at")
+    LocalDateTime createdAt,
+    
+    User.Role role,
+    boolean enabled
+) {}
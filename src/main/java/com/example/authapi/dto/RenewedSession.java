@@ -0,0 +1,6 @@
+package com.example.authapi.dto;
+
+public record RenewedSession(
+    String accessToken,
+    VerifyResponse verifyResponse
+) {}
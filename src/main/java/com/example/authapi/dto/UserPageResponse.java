@@ -0,0 +1,8 @@
+package com.example.authapi.dto;
+
+import java.util.List;
+
+public record UserPageResponse(
+    List<AdminUserInfo> users,
+    Long nextAfterId
+) {}
@@ -13,7 +13,10 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_role_id", columnList = "role, id"),
+    @Index(name = "idx_users_enabled_id", columnList = "enabled, id")
+})
 public class User implements UserDetails {
     
     @Id
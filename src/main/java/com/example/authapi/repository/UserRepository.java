@@ -1,14 +1,25 @@
 package com.example.authapi.repository;
 
+import com.example.authapi.dto.AdminUserInfo;
 import com.example.authapi.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    String ADMIN_USER_INFO = "select new com.example.authapi.dto.AdminUserInfo(" +
+            "u.id, u.username, u.email, u.createdAt, u.role, u.enabled) from User u ";
+    
     Optional<User> findByUsername(String username);
     
     Optional<User> findByEmail(String email);
@@ -16,4 +27,33 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByUsername(String username);
     
     Boolean existsByEmail(String email);
+    
+    // Keyset (seek) pages: rows after the given id in id order, so cost does not grow with depth.
+    // One query per filter combination keeps every predicate sargable, letting the planner seek
+    // on the primary key or the (role, id) / (enabled, id) indexes instead of filtering a scan.
+    @Query(ADMIN_USER_INFO + "where u.id > :afterId order by u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    List<AdminUserInfo> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    @Query(ADMIN_USER_INFO + "where u.role = :role and u.id > :afterId order by u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    List<AdminUserInfo> findPageAfterByRole(
+            @Param("afterId") Long afterId,
+            @Param("role") User.Role role,
+            Limit limit);
+    
+    @Query(ADMIN_USER_INFO + "where u.enabled = :enabled and u.id > :afterId order by u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    List<AdminUserInfo> findPageAfterByEnabled(
+            @Param("afterId") Long afterId,
+            @Param("enabled") boolean enabled,
+            Limit limit);
+    
+    @Query(ADMIN_USER_INFO + "where u.role = :role and u.enabled = :enabled and u.id > :afterId order by u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    List<AdminUserInfo> findPageAfterByRoleAndEnabled(
+            @Param("afterId") Long afterId,
+            @Param("role") User.Role role,
+            @Param("enabled") boolean enabled,
+            Limit limit);
 }
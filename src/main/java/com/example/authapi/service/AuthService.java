@@ -2,14 +2,21 @@ package com.example.authapi.service;
 
 import com.example.authapi.dto.*;
 import com.example.authapi.entity.User;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 @Service
 public class AuthService {
     
     private final UserService userService;
     private final JwtService jwtService;
     
+    @Value("${session.stateless-verify.enabled:false}")
+    private boolean statelessVerify;
+    
     public AuthService(UserService userService, JwtService jwtService) {
         this.userService = userService;
         this.jwtService = jwtService;
@@ -42,7 +49,7 @@ public class AuthService {
     
     public String generateAccessToken(String email) {
         User user = userService.findByEmail(email);
-        return jwtService.generateToken(user.getId().toString(), user.getEmail());
+        return jwtService.generateToken(user);
     }
     
     public String generateRefreshToken(String email) {
@@ -60,8 +67,16 @@ public class AuthService {
             throw new IllegalArgumentException("Invalid or expired refresh token");
         }
         
+        // Renewed and refreshed access tokens are also accepted here and carry the login time,
+        // so chaining them through /refresh stops at the absolute session cap
+        long authTime = jwtService.extractAuthTime(request.refreshToken());
+        if (!jwtService.isWithinSessionCap(authTime)) {
+            throw new IllegalArgumentException("Session expired");
+        }
+        
         String email = jwtService.extractEmail(request.refreshToken());
-        String newAccessToken = generateAccessToken(email);
+        User user = userService.findByEmail(email);
+        String newAccessToken = jwtService.generateToken(user, authTime);
         
         return new TokenResponse(newAccessToken);
     }
@@ -81,15 +96,57 @@ public class AuthService {
             throw new IllegalArgumentException("Invalid access token");
         }
         
+        // Stateless mode answers from the verified claims; tokens minted without them fall back to the database
+        UserInfo userInfo = statelessVerify ? jwtService.extractClaim(accessToken, this::userInfoFromClaims) : null;
+        if (userInfo == null) {
+            String email = jwtService.extractEmail(accessToken);
+            userInfo = UserInfo.from(userService.findByEmail(email));
+        }
+        
+        return VerifyResponse.of(userInfo, getSessionInfo(accessToken));
+    }
+    
+    public boolean isAdmin(String accessToken) {
+        VerifyResponse verifyResponse = verify(accessToken);
+        return User.Role.ADMIN.name().equals(verifyResponse.user().role());
+    }
+    
+    // Returns null once the absolute session cap leaves no room for a renewed token
+    public RenewedSession renewAccessToken(String accessToken) {
+        // Reload the user so role changes reach both the renewed token and the response
         String email = jwtService.extractEmail(accessToken);
         User user = userService.findByEmail(email);
+        String renewedToken = jwtService.renewToken(accessToken, user);
         
+        if (renewedToken == null) {
+            return null;
+        }
+        
+        return new RenewedSession(renewedToken, VerifyResponse.of(UserInfo.from(user), getSessionInfo(renewedToken)));
+    }
+    
+    private SessionInfo getSessionInfo(String accessToken) {
         // Calculate remaining time for response
         long timeRemaining = jwtService.getTimeRemaining(accessToken);
         long expiresAt = jwtService.getSessionExpiry(accessToken);
         
-        SessionInfo sessionInfo = new SessionInfo(timeRemaining, expiresAt);
+        return new SessionInfo(timeRemaining, expiresAt);
+    }
+    
+    private UserInfo userInfoFromClaims(Claims claims) {
+        String userId = claims.get("userId", String.class);
+        String role = claims.get("role", String.class);
+        String createdAt = claims.get("createdAt", String.class);
+        if (userId == null || role == null || createdAt == null) {
+            return null;
+        }
         
-        return VerifyResponse.of(UserInfo.from(user), sessionInfo);
+        return new UserInfo(
+            Long.valueOf(userId),
+            claims.get("username", String.class),
+            claims.get("email", String.class),
+            LocalDateTime.parse(createdAt),
+            role
+        );
     }
 }
@@ -0,0 +1,267 @@
+package com.example.authapi.service;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+
+// Mints the fixed claim set of JwtService without going through Jwts.builder().
+// Output is byte-identical to the builder: same header, same claim order (the iteration order
+// the old HashMap produced), compact Jackson-style JSON and unpadded base64url segments.
+// The header segment is encoded once; the Mac and all buffers are reused per thread.
+final class JwtMinter {
+    
+    private static final byte[] BASE64URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    
+    private static final byte[] CREATED_AT = ascii("\"createdAt\":");
+    private static final byte[] ROLE = ascii("\"role\":");
+    private static final byte[] SESSION_START = ascii("\"sessionStart\":");
+    private static final byte[] AUTH_TIME = ascii("\"authTime\":");
+    private static final byte[] USER_ID = ascii("\"userId\":");
+    private static final byte[] EMAIL = ascii("\"email\":");
+    private static final byte[] USERNAME = ascii("\"username\":");
+    private static final byte[] ISSUED_AT = ascii("\"iat\":");
+    private static final byte[] EXPIRATION = ascii("\"exp\":");
+    
+    private final SecretKey key;
+    private final byte[] encodedHeader;
+    private final ThreadLocal<Buffers> buffers;
+    
+    JwtMinter(SecretKey key) {
+        this.key = key;
+        // Keys.hmacShaKeyFor names keys HmacSHA256/384/512, which the builder signs as HS256/384/512
+        String algorithm = "HS" + key.getAlgorithm().substring("HmacSHA".length());
+        this.encodedHeader = Base64.getUrlEncoder().withoutPadding()
+                .encode(("{\"alg\":\"" + algorithm + "\"}").getBytes(StandardCharsets.UTF_8));
+        this.buffers = ThreadLocal.withInitial(() -> new Buffers(newMac()));
+    }
+    
+    // Claim values grouped by meaning: identity, optional profile claims (null when not embedded), then times.
+    // The serialized order is decided by mint() alone.
+    record TokenClaims(
+        String userId,
+        String email,
+        String username,
+        String role,
+        String createdAt,
+        long authTime,
+        long sessionStart,
+        long issuedAt,
+        long expiration
+    ) {}
+    
+    String mint(TokenClaims claims) {
+        Buffers b = buffers.get();
+        
+        // The builder's HashMap iteration order: createdAt, role, sessionStart, authTime, userId, email, username
+        b.jsonLength = 0;
+        b.writeByte('{');
+        if (claims.createdAt() != null) {
+            b.writeName(CREATED_AT);
+            b.writeString(claims.createdAt());
+        }
+        if (claims.role() != null) {
+            b.writeName(ROLE);
+            b.writeString(claims.role());
+        }
+        b.writeName(SESSION_START);
+        b.writeLong(claims.sessionStart());
+        b.writeName(AUTH_TIME);
+        b.writeLong(claims.authTime());
+        if (claims.userId() != null) {
+            b.writeName(USER_ID);
+            b.writeString(claims.userId());
+        }
+        if (claims.email() != null) {
+            b.writeName(EMAIL);
+            b.writeString(claims.email());
+        }
+        if (claims.username() != null) {
+            b.writeName(USERNAME);
+            b.writeString(claims.username());
+        }
+        b.writeName(ISSUED_AT);
+        b.writeLong(claims.issuedAt());
+        b.writeName(EXPIRATION);
+        b.writeLong(claims.expiration());
+        b.writeByte('}');
+        
+        int signatureLength = b.signature.length;
+        int tokenLength = encodedHeader.length + 1 + encodedLength(b.jsonLength) + 1 + encodedLength(signatureLength);
+        if (b.token.length < tokenLength) {
+            b.token = new byte[tokenLength];
+        }
+        
+        System.arraycopy(encodedHeader, 0, b.token, 0, encodedHeader.length);
+        int position = encodedHeader.length;
+        b.token[position++] = '.';
+        position = encode(b.json, b.jsonLength, b.token, position);
+        
+        try {
+            b.mac.update(b.token, 0, position);
+            b.mac.doFinal(b.signature, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign token", e);
+        }
+        
+        b.token[position++] = '.';
+        position = encode(b.signature, signatureLength, b.token, position);
+        
+        return new String(b.token, 0, position, StandardCharsets.ISO_8859_1);
+    }
+    
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(key.getAlgorithm());
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialize " + key.getAlgorithm(), e);
+        }
+    }
+    
+    private static int encodedLength(int length) {
+        return (length * 4 + 2) / 3;
+    }
+    
+    // Unpadded base64url of src[0, length) into dst at position; returns the new position
+    private static int encode(byte[] src, int length, byte[] dst, int position) {
+        int i = 0;
+        for (; i + 3 <= length; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[position++] = BASE64URL[bits >>> 18];
+            dst[position++] = BASE64URL[(bits >>> 12) & 0x3f];
+            dst[position++] = BASE64URL[(bits >>> 6) & 0x3f];
+            dst[position++] = BASE64URL[bits & 0x3f];
+        }
+        
+        int remaining = length - i;
+        if (remaining > 0) {
+            int bits = (src[i] & 0xff) << 16 | (remaining == 2 ? (src[i + 1] & 0xff) << 8 : 0);
+            dst[position++] = BASE64URL[bits >>> 18];
+            dst[position++] = BASE64URL[(bits >>> 12) & 0x3f];
+            if (remaining == 2) {
+                dst[position++] = BASE64URL[(bits >>> 6) & 0x3f];
+            }
+        }
+        return position;
+    }
+    
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+    
+    private static final class Buffers {
+        
+        private final Mac mac;
+        private final byte[] signature;
+        private byte[] json = new byte[256];
+        private int jsonLength;
+        private byte[] token = new byte[512];
+        
+        private Buffers(Mac mac) {
+            this.mac = mac;
+            this.signature = new byte[mac.getMacLength()];
+        }
+        
+        private void ensureCapacity(int extra) {
+            if (jsonLength + extra > json.length) {
+                json = Arrays.copyOf(json, Math.max(json.length * 2, jsonLength + extra));
+            }
+        }
+        
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            json[jsonLength++] = (byte) value;
+        }
+        
+        private void writeName(byte[] name) {
+            ensureCapacity(name.length + 1);
+            if (json[jsonLength - 1] != '{') {
+                json[jsonLength++] = ',';
+            }
+            System.arraycopy(name, 0, json, jsonLength, name.length);
+            jsonLength += name.length;
+        }
+        
+        private void writeLong(long value) {
+            if (value < 0) {
+                // Never a real timestamp; not worth a hand-rolled path
+                byte[] text = ascii(Long.toString(value));
+                ensureCapacity(text.length);
+                System.arraycopy(text, 0, json, jsonLength, text.length);
+                jsonLength += text.length;
+                return;
+            }
+            
+            int digits = 1;
+            for (long v = value; v >= 10; v /= 10) {
+                digits++;
+            }
+            ensureCapacity(digits);
+            for (int i = jsonLength + digits - 1; i >= jsonLength; i--) {
+                json[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            jsonLength += digits;
+        }
+        
+        // Same escaping as the builder's Jackson serializer: quote, backslash, control characters and surrogates
+        private void writeString(String value) {
+            // Worst case is six bytes per char (\\uXXXX); UTF-8 needs at most three per char
+            ensureCapacity(value.length() * 6 + 2);
+            json[jsonLength++] = '"';
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                    json[jsonLength++] = (byte) c;
+                } else if (c == '"' || c == '\\') {
+                    json[jsonLength++] = '\\';
+                    json[jsonLength++] = (byte) c;
+                } else if (c < 0x20) {
+                    writeControl(c);
+                } else if (c < 0x800) {
+                    json[jsonLength++] = (byte) (0xc0 | (c >> 6));
+                    json[jsonLength++] = (byte) (0x80 | (c & 0x3f));
+                } else if (Character.isSurrogate(c)) {
+                    // The builder's serializer emits characters outside the BMP as escaped surrogates
+                    writeUnicodeEscape(c);
+                } else {
+                    json[jsonLength++] = (byte) (0xe0 | (c >> 12));
+                    json[jsonLength++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                    json[jsonLength++] = (byte) (0x80 | (c & 0x3f));
+                }
+            }
+            json[jsonLength++] = '"';
+        }
+        
+        private void writeControl(char c) {
+            switch (c) {
+                case '\b' -> writeShortEscape('b');
+                case '\t' -> writeShortEscape('t');
+                case '\n' -> writeShortEscape('n');
+                case '\f' -> writeShortEscape('f');
+                case '\r' -> writeShortEscape('r');
+                default -> writeUnicodeEscape(c);
+            }
+        }
+        
+        private void writeShortEscape(char c) {
+            json[jsonLength++] = '\\';
+            json[jsonLength++] = (byte) c;
+        }
+        
+        private void writeUnicodeEscape(char c) {
+            json[jsonLength++] = '\\';
+            json[jsonLength++] = 'u';
+            json[jsonLength++] = HEX[c >> 12];
+            json[jsonLength++] = HEX[(c >> 8) & 0xf];
+            json[jsonLength++] = HEX[(c >> 4) & 0xf];
+            json[jsonLength++] = HEX[c & 0xf];
+        }
+    }
+}
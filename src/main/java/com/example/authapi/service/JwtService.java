@@ -1,27 +1,54 @@
 package com.example.authapi.service;
 
+import com.example.authapi.entity.User;
+import com.example.authapi.timing.RequestTimer;
+import com.example.authapi.timing.TimingPhase;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
     
+    private final RequestTimer requestTimer;
+    
     @Value("${jwt.secret}")
     private String secretKey;
     
     @Value("${session.lifetime}")
     private Long sessionLifetime;
     
+    // Defaults to what isTokenValid enforced before sliding renewal: the login token plus one refresh
+    @Value("${session.max-lifetime:#{${session.lifetime} * 2}}")
+    private Long maxSessionLifetime;
+    
+    @Value("${session.stateless-verify.enabled:false}")
+    private boolean embedUserClaims;
+    
+    private JwtParser parser;
+    private JwtMinter minter;
+    
+    public JwtService(RequestTimer requestTimer) {
+        this.requestTimer = requestTimer;
+    }
+    
+    @PostConstruct
+    public void initializeKeys() {
+        // The key, parser and minter are immutable and thread-safe, so build them once
+        SecretKey signInKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signInKey).build();
+        minter = new JwtMinter(signInKey);
+    }
+    
     public String extractEmail(String token) {
         return extractClaim(token, claims -> claims.get("email", String.class));
     }
@@ -34,6 +61,10 @@ public class JwtService {
         return extractClaim(token, claims -> claims.get("sessionStart", Long.class));
     }
     
+    public Long extractAuthTime(String token) {
+        return extractClaim(token, JwtService::authTimeOf);
+    }
+    
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
@@ -43,26 +74,69 @@ public class JwtService {
         return generateToken(userId, email, sessionLifetime);
     }
     
+    public String generateToken(User user) {
+        return generateToken(user, System.currentTimeMillis() / 1000);
+    }
+    
+    // Mints an access token for an existing session; authTime is the login time the session cap counts from
+    public String generateToken(User user, long authTime) {
+        return generateToken(user.getId().toString(), user.getEmail(), usernameClaim(user), roleClaim(user),
+                createdAtClaim(user), sessionLifetime, authTime);
+    }
+    
     public String generateRefreshToken(String userId, String email) {
         // Refresh tokens last longer (7 days in seconds)
         return generateToken(userId, email, sessionLifetime * 7);
     }
     
+    // Issues a fresh access token for the same session, keeping the original login time.
+    // Returns null once a full-lifetime token would outlive the absolute session cap.
+    // User claims are taken from the freshly loaded user, so embedded data is never older than one lifetime.
+    public String renewToken(String token, User user) {
+        long authTime = extractAuthTime(token);
+        
+        if (!isWithinSessionCap(authTime)) {
+            return null;
+        }
+        
+        return generateToken(user, authTime);
+    }
+    
+    // True while a full-lifetime access token issued now still ends before the absolute session cap
+    public boolean isWithinSessionCap(long authTime) {
+        long currentTime = System.currentTimeMillis() / 1000;
+        return currentTime + sessionLifetime <= authTime + getMaxSessionLifetime();
+    }
+    
+    // Profile claims let verify answer from the token alone (session.stateless-verify)
+    private String usernameClaim(User user) {
+        return embedUserClaims ? user.getUsername() : null;
+    }
+    
+    private String roleClaim(User user) {
+        return embedUserClaims ? user.getRole().name() : null;
+    }
+    
+    private String createdAtClaim(User user) {
+        return embedUserClaims && user.getCreatedAt() != null ? user.getCreatedAt().toString() : null;
+    }
+    
     private String generateToken(String userId, String email, Long lifetime) {
-        Map<String, Object> claims = new HashMap<>();
+        return generateToken(userId, email, null, null, null, lifetime, System.currentTimeMillis() / 1000);
+    }
+    
+    private String generateToken(String userId, String email, String username, String role, String createdAt,
+                                 Long lifetime, long authTime) {
         long sessionStart = System.currentTimeMillis() / 1000; // Unix timestamp in seconds
         long sessionExpiry = sessionStart + lifetime;
         
-        claims.put("userId", userId);
-        claims.put("email", email);
-        claims.put("sessionStart", sessionStart);
+        long signStart = requestTimer.start();
+        String token = minter.mint(new JwtMinter.TokenClaims(
+            userId, email, username, role, createdAt, authTime, sessionStart, sessionStart, sessionExpiry
+        ));
+        requestTimer.stop(TimingPhase.TOKEN_SIGNING, signStart);
         
-        return Jwts.builder()
-                .claims(claims)
-                .issuedAt(new Date())
-                .expiration(new Date(sessionExpiry * 1000)) // Convert back to milliseconds for Date
-                .signWith(getSignInKey())
-                .compact();
+        return token;
     }
     
     public boolean isTokenValid(String token) {
@@ -111,6 +185,12 @@ public class JwtService {
         }
     }
     
+    private static Long authTimeOf(Claims claims) {
+        // Tokens minted before authTime existed started their session at sessionStart
+        Long authTime = claims.get("authTime", Long.class);
+        return authTime != null ? authTime : claims.get("sessionStart", Long.class);
+    }
+    
     private boolean isTokenExpired(String token) {
         return extractExpiration(token).before(new Date());
     }
@@ -120,19 +200,20 @@ public class JwtService {
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-    
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        long parseStart = requestTimer.start();
+        try {
+            return parser.parseSignedClaims(token).getPayload();
+        } finally {
+            requestTimer.stop(TimingPhase.TOKEN_PARSE, parseStart);
+        }
     }
     
     public Long getSessionLifetime() {
         return sessionLifetime;
     }
+    
+    // Absolute cap from login (authTime); renewal and refresh never issue a token that outlives it
+    public Long getMaxSessionLifetime() {
+        return maxSessionLifetime;
+    }
 }
@@ -1,20 +1,28 @@
 package com.example.authapi.service;
 
+import com.example.authapi.dto.AdminUserInfo;
 import com.example.authapi.entity.User;
 import com.example.authapi.repository.UserRepository;
+import com.example.authapi.timing.RequestTimer;
+import com.example.authapi.timing.TimingPhase;
 import jakarta.annotation.PostConstruct;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class UserService implements UserDetailsService {
     
     private final UserRepository userRepository;
+    private final RequestTimer requestTimer;
     
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, RequestTimer requestTimer) {
         this.userRepository = userRepository;
+        this.requestTimer = requestTimer;
     }
     
     @PostConstruct
@@ -46,8 +54,13 @@ public class UserService implements UserDetailsService {
     }
     
     public User findByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+        long lookupStart = requestTimer.start();
+        try {
+            return userRepository.findByEmail(email)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+        } finally {
+            requestTimer.stop(TimingPhase.USER_LOOKUP, lookupStart);
+        }
     }
     
     public User findByUsername(String username) {
@@ -59,9 +72,24 @@ public class UserService implements UserDetailsService {
         try {
             User user = findByEmail(email);
             // For mock users, compare plain text passwords
-            return user.getPassword().equals(password);
+            long passwordStart = requestTimer.start();
+            boolean matches = user.getPassword().equals(password);
+            requestTimer.stop(TimingPhase.PASSWORD_CHECK, passwordStart);
+            return matches;
         } catch (UsernameNotFoundException e) {
             return false;
         }
     }
+    
+    public List<AdminUserInfo> findPage(Long afterId, User.Role role, Boolean enabled, int size) {
+        Limit limit = Limit.of(size);
+        if (role != null && enabled != null) {
+            return userRepository.findPageAfterByRoleAndEnabled(afterId, role, enabled, limit);
+        } else if (role != null) {
+            return userRepository.findPageAfterByRole(afterId, role, limit);
+        } else if (enabled != null) {
+            return userRepository.findPageAfterByEnabled(afterId, enabled, limit);
+        }
+        return userRepository.findPageAfter(afterId, limit);
+    }
 }
@@ -0,0 +1,42 @@
+package com.example.authapi.timing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RequestTimer {
+    
+    // Per-phase nanoseconds for the request on this thread; only set while ServerTimingFilter runs
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+    
+    private static final int PHASE_COUNT = TimingPhase.values().length;
+    
+    @Value("${request-timing.enabled:false}")
+    private boolean enabled;
+    
+    // Returns 0 when timing is off so the disabled path neither reads the clock nor allocates
+    public long start() {
+        return enabled && CURRENT.get() != null ? System.nanoTime() : 0L;
+    }
+    
+    public void stop(TimingPhase phase, long start) {
+        if (start == 0L) {
+            return;
+        }
+        
+        long[] durations = CURRENT.get();
+        if (durations != null) {
+            durations[phase.ordinal()] += System.nanoTime() - start;
+        }
+    }
+    
+    long[] begin() {
+        long[] durations = new long[PHASE_COUNT];
+        CURRENT.set(durations);
+        return durations;
+    }
+    
+    void end() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.authapi.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "request-timing.enabled", havingValue = "true")
+public class ServerTimingFilter extends OncePerRequestFilter {
+    
+    private static final Logger slowRequestLog = LoggerFactory.getLogger("slow-request");
+    
+    private static final String LOGIN_PATH = "/api/auth/login";
+    
+    private final RequestTimer requestTimer;
+    
+    @Value("${request-timing.slow-threshold-ms:500}")
+    private Long slowThresholdMs;
+    
+    public ServerTimingFilter(RequestTimer requestTimer) {
+        this.requestTimer = requestTimer;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/auth/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        long[] durations = requestTimer.begin();
+        
+        // Buffer the body so the header can still be added once the controller has written it
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } finally {
+            requestTimer.end();
+            long total = System.nanoTime() - start;
+            
+            boolean hideCredentialPhases = LOGIN_PATH.equals(request.getRequestURI());
+            responseWrapper.setHeader("Server-Timing", formatServerTiming(durations, total, hideCredentialPhases));
+            responseWrapper.copyBodyToResponse();
+            
+            if (total >= slowThresholdMs * 1_000_000) {
+                slowRequestLog.warn(formatSlowRequest(request, responseWrapper.getStatus(), durations, total));
+            }
+        }
+    }
+    
+    // Every visible phase is listed, zero or not, so the header's shape never depends on the outcome.
+    // On /login the user lookup and password check are left to the slow-request log, since their
+    // presence or timing would tell an unknown email apart from a wrong password.
+    private String formatServerTiming(long[] durations, long total, boolean hideCredentialPhases) {
+        StringBuilder header = new StringBuilder();
+        for (TimingPhase phase : TimingPhase.values()) {
+            if (hideCredentialPhases && phase.isCredentialSensitive()) {
+                continue;
+            }
+            header.append(phase.getMetricName())
+                    .append(";desc=\"").append(phase.getDescription()).append('"')
+                    .append(";dur=").append(toMillis(durations[phase.ordinal()]))
+                    .append(", ");
+        }
+        return header.append("total;dur=").append(toMillis(total)).toString();
+    }
+    
+    private String formatSlowRequest(HttpServletRequest request, int status, long[] durations, long total) {
+        StringBuilder line = new StringBuilder("slow_request")
+                .append(" method=").append(request.getMethod())
+                .append(" path=").append(request.getRequestURI())
+                .append(" status=").append(status)
+                .append(" total_ms=").append(toMillis(total));
+        for (TimingPhase phase : TimingPhase.values()) {
+            line.append(' ').append(phase.getMetricName()).append("_ms=").append(toMillis(durations[phase.ordinal()]));
+        }
+        return line.toString();
+    }
+    
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.authapi.timing;
+
+public enum TimingPhase {
+    COOKIE("cookie", "Cookie extraction", false),
+    TOKEN_PARSE("jwt", "Token parsing and signature check", false),
+    USER_LOOKUP("db", "User lookup", true),
+    PASSWORD_CHECK("password", "Password check", true),
+    TOKEN_SIGNING("sign", "Token signing", false);
+    
+    private final String metricName;
+    private final String description;
+    // Whether the phase's presence or duration on /login reveals if the account exists
+    private final boolean credentialSensitive;
+    
+    TimingPhase(String metricName, String description, boolean credentialSensitive) {
+        this.metricName = metricName;
+        this.description = description;
+        this.credentialSensitive = credentialSensitive;
+    }
+    
+    public String getMetricName() { return metricName; }
+    
+    public String getDescription() { return description; }
+    
+    public boolean isCredentialSensitive() { return credentialSensitive; }
+}
@@ -0,0 +1,161 @@
+package com.example.authapi.warmup;
+
+import com.example.authapi.dto.*;
+import com.example.authapi.entity.User;
+import com.example.authapi.service.AuthService;
+import com.example.authapi.service.JwtService;
+import com.example.authapi.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+// Runs before the ApplicationReadyEvent, so the readiness probe stays REFUSING_TRAFFIC until it returns
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+public class WarmupRunner implements ApplicationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+    
+    // Never persisted; .invalid is a reserved TLD, so the lookup below can never match a real account
+    private static final String SYNTHETIC_EMAIL = "warmup@warmup.invalid";
+    
+    private final AuthService authService;
+    private final JwtService jwtService;
+    private final UserService userService;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${warmup.iterations:1000}")
+    private int iterations;
+    
+    @Value("${warmup.time-budget-ms:20000}")
+    private Long timeBudgetMs;
+    
+    @Value("${warmup.email:}")
+    private String email;
+    
+    @Value("${warmup.password:}")
+    private String password;
+    
+    public WarmupRunner(AuthService authService, JwtService jwtService, UserService userService,
+                        DataSource dataSource, ObjectMapper objectMapper) {
+        this.authService = authService;
+        this.jwtService = jwtService;
+        this.userService = userService;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeBudgetMs;
+        
+        try {
+            prefillConnectionPool(deadline);
+        } catch (Exception e) {
+            log.warn("Warmup could not prefill the connection pool: {}", e.getMessage());
+        }
+        
+        User syntheticUser = new User("warmup", SYNTHETIC_EMAIL, "");
+        syntheticUser.setId(0L);
+        syntheticUser.setRole(User.Role.USER);
+        
+        int synthetic = 0;
+        try {
+            while (synthetic < iterations && System.currentTimeMillis() < deadline) {
+                runSyntheticFlow(syntheticUser);
+                synthetic++;
+            }
+        } catch (Exception e) {
+            log.warn("Synthetic warmup failed after {} iterations: {}", synthetic, e.getMessage());
+        }
+        
+        // Optional extra: the full login/verify/refresh path through a real account
+        int credentialed = 0;
+        if (email.isBlank() || password.isBlank()) {
+            log.info("Warmup account not configured (warmup.email/warmup.password); skipping credentialed flows");
+        } else {
+            try {
+                while (credentialed < iterations && System.currentTimeMillis() < deadline) {
+                    runAuthFlow();
+                    credentialed++;
+                }
+            } catch (Exception e) {
+                // A broken warmup account must not keep the replica out of rotation
+                log.warn("Credentialed warmup failed after {} iterations: {}", credentialed, e.getMessage());
+            }
+        }
+        
+        log.info("Warmup finished: {} synthetic and {} credentialed of {} iterations in {} ms",
+                synthetic, credentialed, iterations, System.currentTimeMillis() - start);
+    }
+    
+    // Needs no account: mints and parses tokens for an in-memory user, serializes the response
+    // DTOs and runs the findByEmail query, so signing, parsing, Jackson and the query plan get hot
+    private void runSyntheticFlow(User user) throws Exception {
+        String accessToken = jwtService.generateToken(user);
+        String refreshToken = jwtService.generateRefreshToken(user.getId().toString(), user.getEmail());
+        
+        jwtService.isSessionExpired(accessToken);
+        jwtService.isTokenValid(accessToken);
+        jwtService.isTokenValid(refreshToken);
+        jwtService.extractEmail(accessToken);
+        jwtService.extractAuthTime(refreshToken);
+        SessionInfo sessionInfo = new SessionInfo(
+            jwtService.getTimeRemaining(accessToken),
+            jwtService.getSessionExpiry(accessToken)
+        );
+        
+        UserInfo userInfo = UserInfo.from(user);
+        objectMapper.writeValueAsBytes(new LoginResponse("Login successful", userInfo));
+        objectMapper.writeValueAsBytes(VerifyResponse.of(userInfo, sessionInfo));
+        objectMapper.writeValueAsBytes(new TokenResponse(accessToken));
+        
+        userService.authenticateUser(SYNTHETIC_EMAIL, "");
+    }
+    
+    // Synthetic login, verify and refresh through the same services and serializers as real requests
+    private void runAuthFlow() throws Exception {
+        LoginResponse loginResponse = authService.login(new LoginRequest(email, password));
+        String accessToken = authService.generateAccessToken(email);
+        String refreshToken = authService.generateRefreshToken(email);
+        objectMapper.writeValueAsBytes(loginResponse);
+        
+        VerifyResponse verifyResponse = authService.verify(accessToken);
+        objectMapper.writeValueAsBytes(verifyResponse);
+        
+        TokenResponse tokenResponse = authService.refreshToken(new RefreshRequest(refreshToken));
+        objectMapper.writeValueAsBytes(tokenResponse);
+    }
+    
+    // Hold every pool slot open at once so no early request waits on a new physical connection.
+    // Each getConnection() may block for the pool's connectionTimeout, so the budget is checked per slot.
+    private void prefillConnectionPool(long deadline) throws Exception {
+        int poolSize = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 1;
+        
+        List<Connection> connections = new ArrayList<>(poolSize);
+        try {
+            for (int i = 0; i < poolSize && System.currentTimeMillis() < deadline; i++) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid(1);
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+}
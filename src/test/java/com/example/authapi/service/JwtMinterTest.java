@@ -0,0 +1,139 @@
+package com.example.authapi.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// JwtMinter must stay byte-identical to Jwts.builder(); this fails if a jjwt or Jackson upgrade changes its output
+class JwtMinterTest {
+    
+    private static final long SESSION_START = 1_792_439_860L;
+    private static final long AUTH_TIME = 1_792_439_737L;
+    private static final long EXPIRATION = SESSION_START + 120;
+    
+    private static final String[] STRINGS = {
+        "user@example.com",
+        "quote\"back\\slash/solidus@example.com",
+        "tab\tnewline\ncr\rbs\bff\fctl\u0001\u001f@example.com",
+        "ünïcødé@例え.jp",
+        "emoji😀@example.com",
+        ""
+    };
+    
+    // 32, 48 and 64 byte keys select HS256, HS384 and HS512
+    @ParameterizedTest
+    @ValueSource(ints = {32, 48, 64})
+    void mintMatchesBuilderWithoutProfileClaims(int keyLength) {
+        SecretKey key = key(keyLength);
+        JwtMinter minter = new JwtMinter(key);
+        
+        for (String email : STRINGS) {
+            assertEquals(
+                builderToken(key, null, null, null, "42", email),
+                minter.mint(claims("42", email, null, null, null)),
+                "email " + email
+            );
+        }
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {32, 48, 64})
+    void mintMatchesBuilderWithProfileClaims(int keyLength) {
+        SecretKey key = key(keyLength);
+        JwtMinter minter = new JwtMinter(key);
+        
+        for (String value : STRINGS) {
+            String createdAt = "2026-10-19T19:59:37.589629";
+            assertEquals(
+                builderToken(key, createdAt, "ADMIN", value, "1234567890", value),
+                minter.mint(claims("1234567890", value, value, "ADMIN", createdAt)),
+                "value " + value
+            );
+        }
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {32, 48, 64})
+    void reusedBuffersDoNotLeakBetweenTokens(int keyLength) {
+        SecretKey key = key(keyLength);
+        JwtMinter minter = new JwtMinter(key);
+        
+        // A long token followed by a short one on the same thread must not carry over stale bytes
+        minter.mint(claims("1", "x".repeat(2000), "y".repeat(2000), "USER", null));
+        
+        assertEquals(
+            builderToken(key, null, null, null, "1", "a@b.c"),
+            minter.mint(claims("1", "a@b.c", null, null, null))
+        );
+    }
+    
+    @Test
+    void distinctValuesLandInTheirOwnClaims() {
+        SecretKey key = key(32);
+        JwtMinter minter = new JwtMinter(key);
+        
+        // Every value differs, so a swapped record component shows up as a wrong claim
+        String token = minter.mint(new JwtMinter.TokenClaims(
+            "7", "e@example.com", "name", "ADMIN", "2026-10-19T19:59:37",
+            4_000_000_001L, 4_000_000_002L, 4_000_000_003L, 4_000_000_004L
+        ));
+        Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        
+        assertEquals("7", claims.get("userId", String.class));
+        assertEquals("e@example.com", claims.get("email", String.class));
+        assertEquals("name", claims.get("username", String.class));
+        assertEquals("ADMIN", claims.get("role", String.class));
+        assertEquals("2026-10-19T19:59:37", claims.get("createdAt", String.class));
+        assertEquals(4_000_000_001L, claims.get("authTime", Long.class));
+        assertEquals(4_000_000_002L, claims.get("sessionStart", Long.class));
+        assertEquals(4_000_000_003L, claims.get("iat", Long.class));
+        assertEquals(4_000_000_004L, claims.get("exp", Long.class));
+    }
+    
+    private static JwtMinter.TokenClaims claims(String userId, String email, String username, String role,
+                                                String createdAt) {
+        return new JwtMinter.TokenClaims(userId, email, username, role, createdAt,
+                AUTH_TIME, SESSION_START, SESSION_START, EXPIRATION);
+    }
+    
+    private static SecretKey key(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) ('a' + i % 26);
+        }
+        return Keys.hmacShaKeyFor(bytes);
+    }
+    
+    // Builds the token the way JwtService did before JwtMinter, including the HashMap claim order
+    private static String builderToken(SecretKey key, String createdAt, String role, String username,
+                                       String userId, String email) {
+        Map<String, Object> claims = new HashMap<>();
+        if (role != null) {
+            claims.put("username", username);
+            claims.put("role", role);
+            claims.put("createdAt", createdAt);
+        }
+        claims.put("userId", userId);
+        claims.put("email", email);
+        claims.put("sessionStart", SESSION_START);
+        claims.put("authTime", AUTH_TIME);
+        
+        return Jwts.builder()
+                .claims(claims)
+                .issuedAt(new Date(SESSION_START * 1000))
+                .expiration(new Date(EXPIRATION * 1000))
+                .signWith(key)
+                .compact();
+    }
+}